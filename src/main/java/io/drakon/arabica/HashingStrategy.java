@@ -0,0 +1,96 @@
+package io.drakon.arabica;
+
+import java.util.Arrays;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+
+import io.drakon.arabica.internal.sets.StandardStrategies;
+import lombok.NonNull;
+import org.apiguardian.api.API;
+
+/**
+ * Defines how elements are hashed and compared, in place of their own {@link Object#hashCode()} and
+ * {@link Object#equals(Object)}. Used by the strategy-based helpers in {@link Sets} to store values such as
+ * {@code byte[]} or {@link CharSequence} slices directly, without wrapping or copying them first.
+ * <p>
+ * Implementations must be consistent: if {@link #equals(Object, Object)} returns true for two values, then
+ * {@link #hash(Object)} must return the same value for both.
+ *
+ * @param <T> The type of value this strategy handles.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public interface HashingStrategy<T> {
+
+    /**
+     * Computes the hash of a value.
+     *
+     * @param value The value to hash.
+     * @return The hash of the value.
+     */
+    int hash(T value);
+
+    /**
+     * Checks if two values are equal under this strategy.
+     *
+     * @param a The first value.
+     * @param b The second value.
+     * @return True if the values are equal, false otherwise.
+     */
+    boolean equals(T a, T b);
+
+    /**
+     * Creates a strategy from a hash function and an equality function.
+     *
+     * @param hash     The hash function.
+     * @param equality The equality function.
+     * @param <T>      The type of value the strategy handles.
+     * @return A {@link HashingStrategy} using the given functions.
+     */
+    static <T> HashingStrategy<T> of(@NonNull ToIntFunction<? super T> hash,
+                                     @NonNull BiPredicate<? super T, ? super T> equality) {
+        return new HashingStrategy<T>() {
+            @Override
+            public int hash(T value) {
+                return hash.applyAsInt(value);
+            }
+
+            @Override
+            public boolean equals(T a, T b) {
+                return equality.test(a, b);
+            }
+        };
+    }
+
+    /**
+     * Gets a strategy which uses the natural {@link Object#hashCode()} and {@link Object#equals(Object)} of values.
+     *
+     * @param <T> The type of value the strategy handles.
+     * @return The natural {@link HashingStrategy}.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> HashingStrategy<T> natural() {
+        return (HashingStrategy<T>) StandardStrategies.NATURAL;
+    }
+
+    /**
+     * Gets a strategy which hashes and compares {@code byte[]} values by content, as per {@link Arrays#hashCode(byte[])}
+     * and {@link Arrays#equals(byte[], byte[])}.
+     *
+     * @return The byte array {@link HashingStrategy}.
+     */
+    static HashingStrategy<byte[]> byteArrays() {
+        return StandardStrategies.BYTE_ARRAYS;
+    }
+
+    /**
+     * Gets a strategy which hashes and compares {@link CharSequence} values by content. Hashes match
+     * {@link String#hashCode()} for the same characters, so {@link String} and other {@link CharSequence} types (such
+     * as {@link java.nio.CharBuffer} slices) can be mixed freely.
+     *
+     * @return The character sequence {@link HashingStrategy}.
+     */
+    static HashingStrategy<CharSequence> charSequences() {
+        return StandardStrategies.CHAR_SEQUENCES;
+    }
+
+}
@@ -1,9 +1,14 @@
 package io.drakon.arabica;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import io.drakon.arabica.internal.sets.CompactImmutableSet;
+import io.drakon.arabica.internal.sets.StrategyHashSet;
+import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import org.apiguardian.api.API;
 
@@ -26,6 +31,35 @@ public class Sets {
         return new HashSet<>(Arrays.asList(items));
     }
 
+    /**
+     * Converts a given array of items into a new immutable {@link Set}. Unlike {@link #asSet(Object[])}, the result is
+     * laid out compactly for its size (small sets hold their items in fields rather than a hash table), making it
+     * suited to sets which are retained in large numbers. Null items are not permitted.
+     *
+     * @param items The items to add to the set.
+     * @param <T>   The type of item in the set.
+     * @return An immutable {@link Set} of items.
+     */
+    @SafeVarargs
+    @API(status = API.Status.EXPERIMENTAL)
+    public <T> Set<T> asImmutableSet(final T... items) {
+        return CompactImmutableSet.of(items);
+    }
+
+    /**
+     * Copies a collection into a new compact, immutable {@link Set}, as per {@link #asImmutableSet(Object[])}. Useful
+     * for retaining the results of {@link #union(Set[])} and the other set algebra helpers, e.g.
+     * {@code Sets.immutableCopyOf(Sets.union(a, b))}. Sets previously returned by this method are returned unchanged.
+     *
+     * @param items The items to add to the set.
+     * @param <T>   The type of item in the set.
+     * @return An immutable {@link Set} of items.
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    public <T> Set<T> immutableCopyOf(@NonNull final Collection<? extends T> items) {
+        return CompactImmutableSet.copyOf(items);
+    }
+
     /**
      * Creates a new {@link Set} as the union of other {@link Set} values.
      *
@@ -71,4 +105,107 @@ public class Sets {
         return difference;
     }
 
+    /**
+     * Converts a given array of items into a new {@link Set} which hashes and compares items using the given
+     * {@link HashingStrategy} instead of their own {@link Object#hashCode()} and {@link Object#equals(Object)}. Items
+     * are stored directly, so values such as {@code byte[]} do not need wrapping. Null items are not permitted.
+     *
+     * @param strategy The strategy used to hash and compare items.
+     * @param items    The items to add to the set.
+     * @param <T>      The type of item in the set.
+     * @return A {@link Set} of items.
+     */
+    @SafeVarargs
+    @API(status = API.Status.EXPERIMENTAL)
+    public <T> Set<T> asSet(@NonNull final HashingStrategy<? super T> strategy, final T... items) {
+        Set<T> set = new StrategyHashSet<>(strategy, items.length);
+        Collections.addAll(set, items);
+        return set;
+    }
+
+    /**
+     * Creates a new {@link Set} as the union of other {@link Set} values, using the given {@link HashingStrategy} to
+     * hash and compare values.
+     *
+     * @param strategy The strategy used to hash and compare values.
+     * @param sets     The sets to union.
+     * @param <T>      The type within the sets.
+     * @return The union of all provided sets.
+     */
+    @SafeVarargs
+    @API(status = API.Status.EXPERIMENTAL)
+    public <T> Set<T> union(@NonNull final HashingStrategy<? super T> strategy, final Set<T>... sets) {
+        int expectedSize = 0;
+        for (Set<T> it : sets) {
+            expectedSize += it.size();
+        }
+        Set<T> set = new StrategyHashSet<>(strategy, expectedSize);
+        for (Set<T> it : sets) {
+            set.addAll(it);
+        }
+        return set;
+    }
+
+    /**
+     * Creates a new {@link Set} with the intersection (common values) of two {@link Set} values, using the given
+     * {@link HashingStrategy} to hash and compare values.
+     *
+     * @param strategy The strategy used to hash and compare values.
+     * @param a        The first set.
+     * @param b        The second set.
+     * @param <T>      The type contained in the sets.
+     * @return The intersection of both sets.
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    public <T> Set<T> intersection(@NonNull final HashingStrategy<? super T> strategy, final Set<T> a,
+                                   final Set<T> b) {
+        Set<T> lookup = withStrategy(strategy, b);
+        Set<T> intersection = new StrategyHashSet<>(strategy, Math.min(a.size(), b.size()));
+        for (T it : a) {
+            if (lookup.contains(it)) {
+                intersection.add(it);
+            }
+        }
+        return intersection;
+    }
+
+    /**
+     * Creates a new {@link Set} with the values forming a symmetric difference between two {@link Set} values, using
+     * the given {@link HashingStrategy} to hash and compare values.
+     *
+     * @param strategy The strategy used to hash and compare values.
+     * @param a        The first set.
+     * @param b        The second set.
+     * @param <T>      The type contained in the sets.
+     * @return The symmetric difference of both sets.
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    public <T> Set<T> symmetricDifference(@NonNull final HashingStrategy<? super T> strategy, final Set<T> a,
+                                          final Set<T> b) {
+        Set<T> lookupA = withStrategy(strategy, a);
+        Set<T> lookupB = withStrategy(strategy, b);
+        Set<T> difference = new StrategyHashSet<>(strategy, a.size() + b.size());
+        for (T it : lookupA) {
+            if (!lookupB.contains(it)) {
+                difference.add(it);
+            }
+        }
+        for (T it : lookupB) {
+            if (!lookupA.contains(it)) {
+                difference.add(it);
+            }
+        }
+        return difference;
+    }
+
+    // Reuses the given set for lookups if it already uses the strategy, otherwise copies it into one that does.
+    private <T> Set<T> withStrategy(final HashingStrategy<? super T> strategy, final Set<T> set) {
+        if (set instanceof StrategyHashSet && ((StrategyHashSet<T>) set).getStrategy() == strategy) {
+            return set;
+        }
+        Set<T> copy = new StrategyHashSet<>(strategy, set.size());
+        copy.addAll(set);
+        return copy;
+    }
+
 }
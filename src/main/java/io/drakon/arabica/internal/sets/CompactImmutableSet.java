@@ -0,0 +1,301 @@
+package io.drakon.arabica.internal.sets;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+
+/**
+ * Immutable sets laid out for minimal heap use. Up to four elements are held directly in fields; larger sets use a
+ * flat linear-probe table at most two thirds full, with no per-entry nodes. Empty sets are
+ * {@link Collections#emptySet()}.
+ * <p>
+ * Null elements are not permitted.
+ */
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.*"})
+public abstract class CompactImmutableSet<T> extends AbstractSet<T> {
+
+    private CompactImmutableSet() {
+    }
+
+    @SafeVarargs
+    public static <T> Set<T> of(final T... items) {
+        return copyOf(Arrays.asList(items));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Set<T> copyOf(final Collection<? extends T> items) {
+        if (items instanceof CompactImmutableSet) {
+            return (Set<T>) items;
+        }
+        Object[] small = new Object[4];
+        Object[] table = null;
+        int size = 0;
+        for (T it : items) {
+            Objects.requireNonNull(it, "Null elements are not permitted");
+            if (table != null) {
+                // size() is only a hint (e.g. for a concurrent collection being added to), so grow if it was low.
+                if (SetN.insert(table, it) && ++size > SetN.maxSize(table.length)) {
+                    table = SetN.resize(table, size);
+                }
+            } else if (!containsSmall(small, size, it)) {
+                if (size < small.length) {
+                    small[size++] = it;
+                } else {
+                    table = new Object[SetN.capacityFor(items.size())];
+                    for (Object element : small) {
+                        SetN.insert(table, element);
+                    }
+                    SetN.insert(table, it);
+                    size = small.length + 1;
+                }
+            }
+        }
+        if (table != null) {
+            return new SetN<>(SetN.resize(table, size), size);
+        }
+        switch (size) {
+            case 0:
+                return Collections.emptySet();
+            case 1:
+            case 2:
+                return new Set12<>((T) small[0], (T) small[1]);
+            default:
+                return new Set34<>((T) small[0], (T) small[1], (T) small[2], (T) small[3]);
+        }
+    }
+
+    private static boolean containsSmall(Object[] small, int size, Object element) {
+        for (int i = 0; i < size; i++) {
+            if (small[i].equals(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final class Set12<T> extends CompactImmutableSet<T> {
+
+        private final T e0;
+        private final T e1; // null if only one element
+
+        Set12(T e0, T e1) {
+            this.e0 = e0;
+            this.e1 = e1;
+        }
+
+        @Override
+        public int size() {
+            return e1 == null ? 1 : 2;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && (o.equals(e0) || o.equals(e1));
+        }
+
+        @Override
+        public int hashCode() {
+            return e0.hashCode() + (e1 == null ? 0 : e1.hashCode());
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size();
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return index++ == 0 ? e0 : e1;
+                }
+            };
+        }
+
+    }
+
+    static final class Set34<T> extends CompactImmutableSet<T> {
+
+        private final T e0;
+        private final T e1;
+        private final T e2;
+        private final T e3; // null if only three elements
+
+        Set34(T e0, T e1, T e2, T e3) {
+            this.e0 = e0;
+            this.e1 = e1;
+            this.e2 = e2;
+            this.e3 = e3;
+        }
+
+        @Override
+        public int size() {
+            return e3 == null ? 3 : 4;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && (o.equals(e0) || o.equals(e1) || o.equals(e2) || o.equals(e3));
+        }
+
+        @Override
+        public int hashCode() {
+            return e0.hashCode() + e1.hashCode() + e2.hashCode() + (e3 == null ? 0 : e3.hashCode());
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size();
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    switch (index++) {
+                        case 0:
+                            return e0;
+                        case 1:
+                            return e1;
+                        case 2:
+                            return e2;
+                        default:
+                            return e3;
+                    }
+                }
+            };
+        }
+
+    }
+
+    static final class SetN<T> extends CompactImmutableSet<T> {
+
+        private final Object[] table;
+        private final int size;
+
+        SetN(Object[] table, int size) {
+            this.table = table;
+            this.size = size;
+        }
+
+        // Keep tables at most two thirds full, so probes stay short and there is always an empty slot.
+        static int maxSize(int capacity) {
+            return capacity * 2 / 3;
+        }
+
+        static int capacityFor(int expectedSize) {
+            int capacity = 8;
+            while (maxSize(capacity) < expectedSize) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+
+        // Tables are first sized from the input's size(), which may count duplicates or be out of date; rebuild to fit
+        // the distinct count.
+        static Object[] resize(Object[] table, int size) {
+            int capacity = capacityFor(size);
+            if (capacity == table.length) {
+                return table;
+            }
+            Object[] resized = new Object[capacity];
+            for (Object element : table) {
+                if (element != null) {
+                    insert(resized, element);
+                }
+            }
+            return resized;
+        }
+
+        // Only used during construction, before the set is published.
+        static boolean insert(Object[] table, Object element) {
+            int mask = table.length - 1;
+            for (int i = spread(element.hashCode()) & mask; ; i = (i + 1) & mask) {
+                Object current = table[i];
+                if (current == null) {
+                    table[i] = element;
+                    return true;
+                } else if (current.equals(element)) {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o == null) {
+                return false;
+            }
+            int mask = table.length - 1;
+            for (int i = spread(o.hashCode()) & mask; ; i = (i + 1) & mask) {
+                Object current = table[i];
+                if (current == null) {
+                    return false;
+                } else if (current.equals(o)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int index = advance(0);
+
+                @Override
+                public boolean hasNext() {
+                    return index < table.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    T next = (T) table[index];
+                    index = advance(index + 1);
+                    return next;
+                }
+
+                private int advance(int from) {
+                    int i = from;
+                    while (i < table.length && table[i] == null) {
+                        i++;
+                    }
+                    return i;
+                }
+            };
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+    }
+
+}
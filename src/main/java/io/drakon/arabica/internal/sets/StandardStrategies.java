@@ -0,0 +1,44 @@
+package io.drakon.arabica.internal.sets;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import io.drakon.arabica.HashingStrategy;
+import lombok.experimental.UtilityClass;
+import org.apiguardian.api.API;
+
+@UtilityClass
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.*"})
+public class StandardStrategies {
+
+    public final HashingStrategy<Object> NATURAL = HashingStrategy.of(Object::hashCode, Objects::equals);
+    public final HashingStrategy<byte[]> BYTE_ARRAYS = HashingStrategy.of(Arrays::hashCode, Arrays::equals);
+    public final HashingStrategy<CharSequence> CHAR_SEQUENCES = HashingStrategy.of(
+            StandardStrategies::hashChars, StandardStrategies::equalChars);
+
+    // Same polynomial as String#hashCode, so Strings and other CharSequences with equal content hash identically.
+    private int hashChars(CharSequence value) {
+        int hash = 0;
+        for (int i = 0, len = value.length(); i < len; i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return hash;
+    }
+
+    private boolean equalChars(CharSequence a, CharSequence b) {
+        if (a == b) {
+            return true;
+        }
+        int len = a.length();
+        if (len != b.length()) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,255 @@
+package io.drakon.arabica.internal.sets;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import io.drakon.arabica.HashingStrategy;
+import lombok.Getter;
+import lombok.NonNull;
+import org.apiguardian.api.API;
+
+/**
+ * Open-addressing hash set which hashes and compares elements with a {@link HashingStrategy}. Elements are stored
+ * directly in a flat table (no per-entry nodes), with their hashes cached alongside so that content hashes are only
+ * computed once per element. Removed slots are marked with a tombstone and reclaimed on the next rehash.
+ * <p>
+ * Null elements are not permitted.
+ *
+ * @param <T> The type of element in the set.
+ */
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.*"})
+public class StrategyHashSet<T> extends AbstractSet<T> {
+
+    private static final int MIN_CAPACITY = 8;
+    private static final Object REMOVED = new Object();
+
+    @Getter
+    private final HashingStrategy<? super T> strategy;
+    private Object[] elements;
+    private int[] hashes;
+    private int size;
+    private int used; // Live elements plus tombstones
+    private int modCount;
+
+    public StrategyHashSet(@NonNull HashingStrategy<? super T> strategy) {
+        this(strategy, 0);
+    }
+
+    public StrategyHashSet(@NonNull HashingStrategy<? super T> strategy, int expectedSize) {
+        this.strategy = strategy;
+        int capacity = capacityFor(expectedSize);
+        elements = new Object[capacity];
+        hashes = new int[capacity];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+        return o != null && indexOf((T) o) >= 0;
+    }
+
+    @Override
+    public boolean add(@NonNull T element) {
+        int hash = spread(strategy.hash(element));
+        int mask = elements.length - 1;
+        int free = -1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Object current = elements[i];
+            if (current == null) {
+                if (free < 0) {
+                    free = i;
+                    used++;
+                }
+                break;
+            } else if (current == REMOVED) {
+                if (free < 0) {
+                    free = i;
+                }
+            } else if (hashes[i] == hash && strategy.equals(element, elementAt(i))) {
+                return false;
+            }
+        }
+        elements[free] = element;
+        hashes[free] = hash;
+        size++;
+        modCount++;
+        if (used > maxUsed(elements.length)) {
+            rehash(capacityFor(size));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        if (used + c.size() > maxUsed(elements.length)) {
+            rehash(capacityFor(size + c.size()));
+        }
+        return super.addAll(c);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int index = indexOf((T) o);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (used > 0) {
+            Arrays.fill(elements, null);
+            size = 0;
+            used = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iter();
+    }
+
+    /**
+     * Hash code based on the {@link HashingStrategy} rather than the elements' own hash codes, so that sets holding
+     * equal content hash identically. Uses the cached hashes, so element content is not rehashed.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < elements.length; i++) {
+            Object current = elements[i];
+            if (current != null && current != REMOVED) {
+                // spread() is its own inverse, so this recovers the strategy's original hash.
+                hash += spread(hashes[i]);
+            }
+        }
+        return hash;
+    }
+
+    private int indexOf(T element) {
+        int hash = spread(strategy.hash(element));
+        int mask = elements.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Object current = elements[i];
+            if (current == null) {
+                return -1;
+            } else if (current != REMOVED && hashes[i] == hash && strategy.equals(element, elementAt(i))) {
+                return i;
+            }
+        }
+    }
+
+    private void removeAt(int index) {
+        elements[index] = REMOVED;
+        size--;
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) elements[index];
+    }
+
+    private void rehash(int capacity) {
+        Object[] oldElements = elements;
+        int[] oldHashes = hashes;
+        elements = new Object[capacity];
+        hashes = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldElements.length; j++) {
+            Object current = oldElements[j];
+            if (current == null || current == REMOVED) {
+                continue;
+            }
+            int i = oldHashes[j] & mask;
+            while (elements[i] != null) {
+                i = (i + 1) & mask;
+            }
+            elements[i] = current;
+            hashes[i] = oldHashes[j];
+        }
+        used = size;
+    }
+
+    // Keep the table at most two thirds full, as linear probing degrades quickly beyond that.
+    private static int maxUsed(int capacity) {
+        return capacity * 2 / 3;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (maxUsed(capacity) < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private class Iter implements Iterator<T> {
+
+        private int next = advance(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < elements.length;
+        }
+
+        @Override
+        public T next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return elementAt(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private int advance(int from) {
+            Object[] table = elements;
+            int i = from;
+            while (i < table.length && (table[i] == null || table[i] == REMOVED)) {
+                i++;
+            }
+            return i;
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+package io.drakon.arabica.internal.streams;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.drakon.arabica.streams.ConcurrencyLimiter;
+import org.apiguardian.api.API;
+
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.streams.*"})
+public class AimdConcurrencyLimiter implements ConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Start of the current backoff window; initially far enough in the past that any call may back off.
+    private final AtomicLong lastBackoffNanos = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (latencyThresholdNanos <= 0) {
+            throw new IllegalArgumentException("latencyThreshold must be positive");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public void release(long durationNanos, boolean failed) {
+        // Sample in-flight before decrementing, so it includes the call being released.
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        if (failed || durationNanos > latencyThresholdNanos) {
+            // Back off at most once per window: only calls which started after the last backoff (and so ran under
+            // the current limit) may trigger another, so a burst of slow calls in flight together counts once.
+            long now = System.nanoTime();
+            long last = lastBackoffNanos.get();
+            if (now - durationNanos - last >= 0 && lastBackoffNanos.compareAndSet(last, now)) {
+                limit.updateAndGet(it -> Math.max(minLimit, (int) (it * BACKOFF_RATIO)));
+            }
+        } else {
+            // Only grow while the limit is actually being used, so idle periods don't inflate it without evidence.
+            limit.updateAndGet(it -> inFlightAtRelease * 2 >= it ? Math.min(maxLimit, it + 1) : it);
+        }
+    }
+
+    @Override
+    public int getLimit() {
+        return limit.get();
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+}
@@ -0,0 +1,144 @@
+package io.drakon.arabica.internal.streams;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import io.drakon.arabica.functional.Producer;
+import io.drakon.arabica.functional.ThrowableFunction;
+import io.drakon.arabica.streams.ConcurrencyLimitExceededException;
+import io.drakon.arabica.streams.ConcurrencyLimiter;
+import io.drakon.arabica.streams.ErrorBudget;
+import io.drakon.arabica.streams.MaybeThrowsFunction;
+import io.drakon.arabica.streams.StepFailedException;
+import io.drakon.arabica.streams.StreamException;
+import lombok.NonNull;
+import org.apiguardian.api.API;
+
+/**
+ * Wraps a function so that every call counts against an {@link ErrorBudget}. Failures are still handled by the chosen
+ * failure mode, but once the budget is exceeded every mode throws an
+ * {@link io.drakon.arabica.streams.ErrorBudgetExceededException} instead, both for the call which exceeded it and
+ * for any later call (which is rejected without running the function). Calls rejected by a concurrency limit are not
+ * counted, so shedding load does not use up the budget.
+ */
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.streams.*"})
+public class BudgetedMaybeThrowsFunction<T, R> implements MaybeThrowsFunction<T, R> {
+
+    private final MaybeThrowsFunctionImpl<T, R> unbudgeted;
+    private final ErrorBudget budget;
+    private final MaybeThrowsFunction<T, R> delegate;
+
+    public BudgetedMaybeThrowsFunction(@NonNull ThrowableFunction<T, R> callable, @NonNull ErrorBudget budget) {
+        this(new MaybeThrowsFunctionImpl<>(callable), budget);
+    }
+
+    private BudgetedMaybeThrowsFunction(MaybeThrowsFunctionImpl<T, R> unbudgeted, ErrorBudget budget) {
+        this.unbudgeted = unbudgeted;
+        this.budget = budget;
+        ThrowableFunction<T, R> callable = unbudgeted.getCallable();
+        this.delegate = new MaybeThrowsFunctionImpl<>(input -> {
+            R result;
+            try {
+                result = callable.apply(input);
+            } catch (Throwable t) {
+                // Calls shed by a concurrency limit never ran, so they count as neither calls nor failures.
+                if (!isRejection(t)) {
+                    budget.recordCall();
+                    budget.recordFailure(t);
+                }
+                throw t;
+            }
+            budget.recordCall();
+            return result;
+        }, unbudgeted.getSource());
+    }
+
+    private static boolean isRejection(Throwable t) {
+        Throwable cause = t;
+        while (cause instanceof StepFailedException) {
+            cause = cause.getCause();
+        }
+        return cause instanceof ConcurrencyLimitExceededException;
+    }
+
+    @Override
+    public ThrowableFunction<T, R> getCallable() {
+        return unbudgeted.getCallable();
+    }
+
+    // Derived wrappers are built from the unbudgeted function, then budgeted again, so the budget stays outermost.
+    @Override
+    public <V> MaybeThrowsFunction<T, V> andThen(@NonNull ThrowableFunction<? super R, ? extends V> after) {
+        return new BudgetedMaybeThrowsFunction<>(unbudgeted.andThen(after), budget);
+    }
+
+    @Override
+    public <V> MaybeThrowsFunction<V, R> compose(@NonNull ThrowableFunction<? super V, ? extends T> before) {
+        return new BudgetedMaybeThrowsFunction<>(unbudgeted.compose(before), budget);
+    }
+
+    @Override
+    public MaybeThrowsFunction<T, R> withConcurrencyLimit(@NonNull ConcurrencyLimiter limiter) {
+        return new BudgetedMaybeThrowsFunction<>(unbudgeted.withConcurrencyLimit(limiter), budget);
+    }
+
+    @Override
+    public R ignoringExceptions(T input) {
+        budget.throwIfExceeded();
+        R result = delegate.ignoringExceptions(input);
+        budget.throwIfExceeded();
+        return result;
+    }
+
+    @Override
+    public Optional<R> ignoringExceptionsOptional(T input) {
+        budget.throwIfExceeded();
+        Optional<R> result = delegate.ignoringExceptionsOptional(input);
+        budget.throwIfExceeded();
+        return result;
+    }
+
+    @Override
+    public R throwUnchecked(T input) {
+        budget.throwIfExceeded();
+        try {
+            return delegate.throwUnchecked(input);
+        } catch (StreamException e) {
+            budget.throwIfExceeded();
+            throw e;
+        }
+    }
+
+    @Override
+    public R exceptionally(T input, Consumer<Throwable> exceptionHandler) {
+        budget.throwIfExceeded();
+        R result = delegate.exceptionally(input, exceptionHandler);
+        budget.throwIfExceeded();
+        return result;
+    }
+
+    @Override
+    public Optional<R> exceptionallyOptional(T input, Consumer<Throwable> exceptionHandler) {
+        budget.throwIfExceeded();
+        Optional<R> result = delegate.exceptionallyOptional(input, exceptionHandler);
+        budget.throwIfExceeded();
+        return result;
+    }
+
+    @Override
+    public R orElse(T input, R fallback) {
+        budget.throwIfExceeded();
+        R result = delegate.orElse(input, fallback);
+        budget.throwIfExceeded();
+        return result;
+    }
+
+    @Override
+    public R orElse(T input, Producer<R> fallbackProducer) {
+        budget.throwIfExceeded();
+        R result = delegate.orElse(input, fallbackProducer);
+        budget.throwIfExceeded();
+        return result;
+    }
+
+}
@@ -0,0 +1,36 @@
+package io.drakon.arabica.internal.streams;
+
+import io.drakon.arabica.functional.ThrowableFunction;
+import lombok.experimental.UtilityClass;
+import org.apiguardian.api.API;
+
+/**
+ * Hooks for emitting diagnostic events around wrapped calls. This is the Java 8 version, which never emits anything;
+ * on Java 11+ the multi-release JAR substitutes a version backed by Java Flight Recorder (see
+ * {@code src/main/java11}). Both versions must keep the same signatures.
+ */
+@UtilityClass
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.internal.streams.*"})
+public class CallEvents {
+
+    /**
+     * @return True if any event would currently be recorded. Callers should skip {@link #record} entirely otherwise.
+     */
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Runs a callable, recording events for failure or slow completion.
+     *
+     * @param source   The user-supplied callable, reported as the origin of events.
+     * @param callable The function to run.
+     * @param input    The input to the function.
+     * @return The return value of the function.
+     * @throws Throwable Any exception thrown by the function, rethrown unchanged.
+     */
+    public <T, R> R record(Object source, ThrowableFunction<T, R> callable, T input) throws Throwable {
+        return callable.apply(input);
+    }
+
+}
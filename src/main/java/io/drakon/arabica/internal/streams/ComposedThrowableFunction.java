@@ -0,0 +1,87 @@
+package io.drakon.arabica.internal.streams;
+
+import java.util.Arrays;
+
+import io.drakon.arabica.functional.ThrowableFunction;
+import io.drakon.arabica.streams.StepFailedException;
+import org.apiguardian.api.API;
+
+/**
+ * Runs a chain of functions in a single call, with one try/catch for the whole chain. Failures are rethrown as a
+ * {@link StepFailedException} carrying the index of the failed step. Composing a chain with another chain flattens
+ * them, so the step count (and step indices) cover every function in order.
+ */
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.streams.*"})
+public class ComposedThrowableFunction<T, R> implements ThrowableFunction<T, R> {
+
+    private final ThrowableFunction<Object, Object>[] steps;
+    private final Object[] sources;
+
+    private ComposedThrowableFunction(ThrowableFunction<Object, Object>[] steps, Object[] sources) {
+        this.steps = steps;
+        this.sources = sources;
+    }
+
+    public static <T, U, R> ComposedThrowableFunction<T, R> of(ThrowableFunction<? super T, ? extends U> first,
+                                                               ThrowableFunction<? super U, ? extends R> second) {
+        return of(first, first, second, second);
+    }
+
+    /**
+     * Composes two functions, recording the user-supplied callable behind each one (reported in diagnostic events)
+     * separately from the function actually run, which may be a wrapper around it.
+     */
+    public static <T, U, R> ComposedThrowableFunction<T, R> of(ThrowableFunction<? super T, ? extends U> first,
+                                                               Object firstSource,
+                                                               ThrowableFunction<? super U, ? extends R> second,
+                                                               Object secondSource) {
+        ThrowableFunction<Object, Object>[] head = stepsOf(first);
+        ThrowableFunction<Object, Object>[] tail = stepsOf(second);
+        ThrowableFunction<Object, Object>[] steps = Arrays.copyOf(head, head.length + tail.length);
+        System.arraycopy(tail, 0, steps, head.length, tail.length);
+        Object[] headSources = sourcesOf(first, firstSource);
+        Object[] tailSources = sourcesOf(second, secondSource);
+        Object[] sources = Arrays.copyOf(headSources, headSources.length + tailSources.length);
+        System.arraycopy(tailSources, 0, sources, headSources.length, tailSources.length);
+        return new ComposedThrowableFunction<>(steps, sources);
+    }
+
+    /**
+     * @param step The zero-based index of a step.
+     * @return The user-supplied callable behind that step.
+     */
+    public Object getSource(int step) {
+        return sources[step];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R apply(T input) throws Throwable {
+        Object value = input;
+        int step = 0;
+        try {
+            for (; step < steps.length; step++) {
+                value = steps[step].apply(value);
+            }
+        } catch (Throwable t) {
+            throw new StepFailedException(step, t);
+        }
+        return (R) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ThrowableFunction<Object, Object>[] stepsOf(ThrowableFunction<?, ?> function) {
+        if (function instanceof ComposedThrowableFunction) {
+            return ((ComposedThrowableFunction<?, ?>) function).steps;
+        }
+        return (ThrowableFunction<Object, Object>[]) new ThrowableFunction<?, ?>[]{function};
+    }
+
+    private static Object[] sourcesOf(ThrowableFunction<?, ?> function, Object source) {
+        if (function instanceof ComposedThrowableFunction) {
+            return ((ComposedThrowableFunction<?, ?>) function).sources;
+        }
+        return new Object[]{source};
+    }
+
+}
@@ -0,0 +1,45 @@
+package io.drakon.arabica.internal.streams;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.drakon.arabica.streams.ConcurrencyLimiter;
+import lombok.Getter;
+import org.apiguardian.api.API;
+
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.streams.*"})
+public class FixedConcurrencyLimiter implements ConcurrencyLimiter {
+
+    @Getter
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public FixedConcurrencyLimiter(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        this.limit = limit;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public void release(long durationNanos, boolean failed) {
+        inFlight.decrementAndGet();
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+}
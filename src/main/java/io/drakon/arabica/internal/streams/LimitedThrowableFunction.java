@@ -0,0 +1,39 @@
+package io.drakon.arabica.internal.streams;
+
+import io.drakon.arabica.functional.ThrowableFunction;
+import io.drakon.arabica.streams.ConcurrencyLimitExceededException;
+import io.drakon.arabica.streams.ConcurrencyLimiter;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import org.apiguardian.api.API;
+
+/**
+ * Wraps a function so that each call must take a permit from a {@link ConcurrencyLimiter}. Rejected calls throw a
+ * {@link ConcurrencyLimitExceededException}, so they are handled by the same failure policy as the wrapped function.
+ */
+@AllArgsConstructor
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.streams.*"})
+public class LimitedThrowableFunction<T, R> implements ThrowableFunction<T, R> {
+
+    @NonNull
+    private final ThrowableFunction<T, R> callable;
+    @NonNull
+    private final ConcurrencyLimiter limiter;
+
+    @Override
+    public R apply(T input) throws Throwable {
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(limiter.getLimit());
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            R result = callable.apply(input);
+            failed = false;
+            return result;
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+}
@@ -5,25 +5,39 @@ import java.util.function.Consumer;
 
 import io.drakon.arabica.functional.Producer;
 import io.drakon.arabica.functional.ThrowableFunction;
+import io.drakon.arabica.streams.ConcurrencyLimiter;
 import io.drakon.arabica.streams.MaybeThrowsFunction;
 import io.drakon.arabica.streams.StreamException;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
 import org.apiguardian.api.API;
 
-@AllArgsConstructor
 @API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.streams.*"})
 public class MaybeThrowsFunctionImpl<T, R> implements MaybeThrowsFunction<T, R> {
 
     @NonNull
     @Getter
     private final ThrowableFunction<T, R> callable;
+    @Getter
+    private final Object source;
+
+    public MaybeThrowsFunctionImpl(@NonNull ThrowableFunction<T, R> callable) {
+        this(callable, callable);
+    }
+
+    /**
+     * @param callable The function to wrap.
+     * @param source   The user-supplied callable that {@code callable} runs, reported in diagnostic events.
+     */
+    public MaybeThrowsFunctionImpl(@NonNull ThrowableFunction<T, R> callable, @NonNull Object source) {
+        this.callable = callable;
+        this.source = source;
+    }
 
     @Override
     public R ignoringExceptions(T input) {
         try {
-            return callable.apply(input);
+            return call(input);
         } catch (Throwable throwable) {
             return null;
         }
@@ -32,7 +46,7 @@ public class MaybeThrowsFunctionImpl<T, R> implements MaybeThrowsFunction<T, R>
     @Override
     public Optional<R> ignoringExceptionsOptional(T input) {
         try {
-            return Optional.ofNullable(callable.apply(input));
+            return Optional.ofNullable(call(input));
         } catch (Throwable throwable) {
             return Optional.empty();
         }
@@ -41,7 +55,7 @@ public class MaybeThrowsFunctionImpl<T, R> implements MaybeThrowsFunction<T, R>
     @Override
     public R throwUnchecked(T input) {
         try {
-            return callable.apply(input);
+            return call(input);
         } catch (Throwable t) {
             throw new StreamException(t);
         }
@@ -50,7 +64,7 @@ public class MaybeThrowsFunctionImpl<T, R> implements MaybeThrowsFunction<T, R>
     @Override
     public R exceptionally(T input, Consumer<Throwable> exceptionHandler) {
         try {
-            return callable.apply(input);
+            return call(input);
         } catch (Throwable t) {
             exceptionHandler.accept(t);
             return null;
@@ -60,7 +74,7 @@ public class MaybeThrowsFunctionImpl<T, R> implements MaybeThrowsFunction<T, R>
     @Override
     public Optional<R> exceptionallyOptional(T input, Consumer<Throwable> exceptionHandler) {
         try {
-            return Optional.ofNullable(callable.apply(input));
+            return Optional.ofNullable(call(input));
         } catch (Throwable t) {
             exceptionHandler.accept(t);
             return Optional.empty();
@@ -70,7 +84,7 @@ public class MaybeThrowsFunctionImpl<T, R> implements MaybeThrowsFunction<T, R>
     @Override
     public R orElse(T input, R fallback) {
         try {
-            return callable.apply(input);
+            return call(input);
         } catch (Throwable t) {
             return fallback;
         }
@@ -79,10 +93,33 @@ public class MaybeThrowsFunctionImpl<T, R> implements MaybeThrowsFunction<T, R>
     @Override
     public R orElse(T input, Producer<R> fallbackProducer) {
         try {
-            return callable.apply(input);
+            return call(input);
         } catch (Throwable t) {
             return fallbackProducer.produce();
         }
     }
 
+    // The overrides below keep the original source, so events still name the user's function after wrapping.
+    @Override
+    public <V> MaybeThrowsFunctionImpl<T, V> andThen(@NonNull ThrowableFunction<? super R, ? extends V> after) {
+        return new MaybeThrowsFunctionImpl<>(ComposedThrowableFunction.of(callable, source, after, after));
+    }
+
+    @Override
+    public <V> MaybeThrowsFunctionImpl<V, R> compose(@NonNull ThrowableFunction<? super V, ? extends T> before) {
+        return new MaybeThrowsFunctionImpl<>(ComposedThrowableFunction.of(before, before, callable, source));
+    }
+
+    @Override
+    public MaybeThrowsFunctionImpl<T, R> withConcurrencyLimit(ConcurrencyLimiter limiter) {
+        return new MaybeThrowsFunctionImpl<>(new LimitedThrowableFunction<>(callable, limiter), source);
+    }
+
+    private R call(T input) throws Throwable {
+        if (CallEvents.isEnabled()) {
+            return CallEvents.record(source, callable, input);
+        }
+        return callable.apply(input);
+    }
+
 }
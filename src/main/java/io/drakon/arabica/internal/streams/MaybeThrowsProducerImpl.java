@@ -5,6 +5,7 @@ import java.util.function.Consumer;
 
 import io.drakon.arabica.functional.Producer;
 import io.drakon.arabica.functional.ThrowableCallable;
+import io.drakon.arabica.streams.ConcurrencyLimiter;
 import io.drakon.arabica.streams.MaybeThrowsFunction;
 import io.drakon.arabica.streams.MaybeThrowsProducer;
 import lombok.Getter;
@@ -19,7 +20,12 @@ public class MaybeThrowsProducerImpl<R> implements MaybeThrowsProducer<R> {
 
     public MaybeThrowsProducerImpl(ThrowableCallable<R> callable) {
         this.callable = callable;
-        wrappedMaybeThrows = new MaybeThrowsFunctionImpl<>(ignored -> callable.apply());
+        wrappedMaybeThrows = new MaybeThrowsFunctionImpl<>(ignored -> callable.apply(), callable);
+    }
+
+    public MaybeThrowsProducerImpl(ThrowableCallable<R> callable, MaybeThrowsFunction<Void, R> wrappedMaybeThrows) {
+        this.callable = callable;
+        this.wrappedMaybeThrows = wrappedMaybeThrows;
     }
 
     @Override
@@ -57,4 +63,11 @@ public class MaybeThrowsProducerImpl<R> implements MaybeThrowsProducer<R> {
         return wrappedMaybeThrows.orElse(null, fallbackProducer);
     }
 
+    // Limits the wrapped function rather than rebuilding from the callable, so earlier layers are kept and the user's
+    // callable stays the reported source and getCallable() result.
+    @Override
+    public MaybeThrowsProducer<R> withConcurrencyLimit(ConcurrencyLimiter limiter) {
+        return new MaybeThrowsProducerImpl<>(callable, wrappedMaybeThrows.withConcurrencyLimit(limiter));
+    }
+
 }
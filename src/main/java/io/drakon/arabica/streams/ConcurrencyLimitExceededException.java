@@ -0,0 +1,18 @@
+package io.drakon.arabica.streams;
+
+import org.apiguardian.api.API;
+
+/**
+ * Exception passed to the failure handling of a {@link MaybeThrowsFunction} or {@link MaybeThrowsProducer} when a
+ * call is rejected by its {@link ConcurrencyLimiter}. Stack traces are not captured, to keep rejection cheap while
+ * overloaded.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    @API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.*"})
+    public ConcurrencyLimitExceededException(int limit) {
+        super("Concurrency limit of " + limit + " exceeded", null, false, false);
+    }
+
+}
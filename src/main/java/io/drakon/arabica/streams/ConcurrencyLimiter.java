@@ -0,0 +1,80 @@
+package io.drakon.arabica.streams;
+
+import java.time.Duration;
+
+import io.drakon.arabica.internal.streams.AimdConcurrencyLimiter;
+import io.drakon.arabica.internal.streams.FixedConcurrencyLimiter;
+import lombok.NonNull;
+import org.apiguardian.api.API;
+
+/**
+ * Limits the number of calls in flight through a {@link MaybeThrowsFunction} or {@link MaybeThrowsProducer}. Calls
+ * over the limit are rejected immediately rather than queued; see
+ * {@link MaybeThrowsFunction#withConcurrencyLimit(ConcurrencyLimiter)}.
+ * <p>
+ * Implementations must be safe for use from multiple threads at once.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public interface ConcurrencyLimiter {
+
+    /**
+     * Attempts to take a permit for a call. Every successful acquire must be paired with exactly one call to
+     * {@link #release(long, boolean)}.
+     *
+     * @return True if the call may proceed, false if the limit has been reached.
+     */
+    boolean tryAcquire();
+
+    /**
+     * Returns a permit taken by {@link #tryAcquire()}, reporting the outcome of the call.
+     *
+     * @param durationNanos How long the call took, in nanoseconds.
+     * @param failed        True if the call threw an exception (of any type).
+     */
+    void release(long durationNanos, boolean failed);
+
+    /**
+     * Gets the current limit on calls in flight.
+     *
+     * @return The current limit.
+     */
+    int getLimit();
+
+    /**
+     * Gets the number of calls currently in flight.
+     *
+     * @return The number of calls in flight.
+     */
+    int getInFlight();
+
+    /**
+     * Creates a limiter with a fixed limit.
+     *
+     * @param limit The maximum number of calls in flight.
+     * @return A fixed {@link ConcurrencyLimiter}.
+     */
+    static ConcurrencyLimiter fixed(int limit) {
+        return new FixedConcurrencyLimiter(limit);
+    }
+
+    /**
+     * Creates a limiter which adapts its limit using additive-increase/multiplicative-decrease (AIMD). The limit grows
+     * by one after a successful call made while the limiter was heavily used, and is cut by 10% after a call which
+     * failed or took longer than the latency threshold. The limit is cut at most once per window of calls in flight
+     * together, so a burst of slow calls only cuts it once.
+     * <p>
+     * Any exception thrown by a call counts as a sign of overload, including ones caused by bad input rather than a
+     * struggling dependency. Validate input before the limited call if such failures are common.
+     *
+     * @param initialLimit     The starting limit.
+     * @param minLimit         The lowest the limit may drop to.
+     * @param maxLimit         The highest the limit may grow to.
+     * @param latencyThreshold Calls taking longer than this are treated as a sign of overload.
+     * @return An adaptive {@link ConcurrencyLimiter}.
+     */
+    static ConcurrencyLimiter adaptive(int initialLimit, int minLimit, int maxLimit,
+                                       @NonNull Duration latencyThreshold) {
+        return new AimdConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThreshold.toNanos());
+    }
+
+}
@@ -0,0 +1,144 @@
+package io.drakon.arabica.streams;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.drakon.arabica.functional.ThrowableCallable;
+import io.drakon.arabica.functional.ThrowableFunction;
+import org.apiguardian.api.API;
+
+/**
+ * Tracks failures across calls to wrappers created by {@link Exceptions#withErrorBudget(ThrowableFunction, ErrorBudget)}
+ * and {@link Exceptions#withErrorBudget(ThrowableCallable, ErrorBudget)}, and decides when there have been too many.
+ * Once exceeded, a budget stays exceeded and every further call through it fails with an
+ * {@link ErrorBudgetExceededException}.
+ * <p>
+ * Budgets are safe to share between threads (such as parallel stream workers) and between several wrappers. Counting
+ * is lock-free. Once any minimum call count has been reached, calls that succeed only touch a striped counter.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public final class ErrorBudget {
+
+    private final long maxFailures;
+    private final double maxFailureRate;
+    private final long minCalls;
+    private final LongAdder calls = new LongAdder();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    private volatile boolean exceeded;
+    private volatile boolean rateChecked;
+
+    private ErrorBudget(long maxFailures, double maxFailureRate, long minCalls) {
+        this.maxFailures = maxFailures;
+        this.maxFailureRate = maxFailureRate;
+        this.minCalls = minCalls;
+    }
+
+    /**
+     * Creates a budget which is exceeded once more than a given number of calls have failed.
+     *
+     * @param maxFailures The number of failures to tolerate.
+     * @return A new {@link ErrorBudget}.
+     */
+    public static ErrorBudget maxFailures(long maxFailures) {
+        if (maxFailures < 0) {
+            throw new IllegalArgumentException("maxFailures must not be negative");
+        }
+        return new ErrorBudget(maxFailures, 1.0, 0);
+    }
+
+    /**
+     * Creates a budget which is exceeded once the fraction of failed calls rises above a given rate. The rate is only
+     * checked after a minimum number of calls, so that a failure among the first few calls does not abort the stream.
+     *
+     * @param maxFailureRate The fraction of calls allowed to fail, between 0 and 1.
+     * @param minCalls       The number of calls to make before checking the rate.
+     * @return A new {@link ErrorBudget}.
+     */
+    public static ErrorBudget maxFailureRate(double maxFailureRate, long minCalls) {
+        if (!(maxFailureRate >= 0.0 && maxFailureRate <= 1.0)) {
+            throw new IllegalArgumentException("maxFailureRate must be between 0 and 1");
+        }
+        if (minCalls < 1) {
+            throw new IllegalArgumentException("minCalls must be at least 1");
+        }
+        return new ErrorBudget(Long.MAX_VALUE, maxFailureRate, minCalls);
+    }
+
+    /**
+     * Gets the number of calls made against this budget so far.
+     *
+     * @return The number of calls.
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Gets the number of failed calls made against this budget so far.
+     *
+     * @return The number of failed calls.
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * Checks if this budget has been exceeded.
+     *
+     * @return True if this budget has been exceeded.
+     */
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    /**
+     * Records a call which ran, whether or not it failed. Failed calls are then passed to {@link #recordFailure}.
+     */
+    @API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.*"})
+    public void recordCall() {
+        calls.increment();
+        if (!rateChecked && maxFailureRate < 1.0 && calls.sum() >= minCalls) {
+            // Failures made before minCalls was reached are only judged now, once the rate can be checked.
+            rateChecked = true;
+            checkRate(failures.get(), calls.sum());
+        }
+    }
+
+    /**
+     * Records a failed call, marking the budget as exceeded if this failure takes it over the limit.
+     *
+     * @param failure The exception thrown by the call.
+     */
+    @API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.*"})
+    public void recordFailure(Throwable failure) {
+        firstFailure.compareAndSet(null, failure);
+        long failed = failures.incrementAndGet();
+        if (failed > maxFailures) {
+            exceeded = true;
+        } else if (maxFailureRate < 1.0) {
+            // Past minCalls the rate can only rise on a failure, so recordCall only needs to check it once.
+            checkRate(failed, calls.sum());
+        }
+    }
+
+    private void checkRate(long failed, long called) {
+        if (called >= minCalls && failed > maxFailureRate * called) {
+            exceeded = true;
+        }
+    }
+
+    /**
+     * Throws a summary exception if this budget has been exceeded.
+     *
+     * @throws ErrorBudgetExceededException If the budget has been exceeded.
+     */
+    @API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.*"})
+    public void throwIfExceeded() {
+        if (exceeded) {
+            throw new ErrorBudgetExceededException(getFailures(), getCalls(), firstFailure.get());
+        }
+    }
+
+}
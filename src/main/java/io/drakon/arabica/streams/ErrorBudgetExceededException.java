@@ -0,0 +1,33 @@
+package io.drakon.arabica.streams;
+
+import lombok.Getter;
+import org.apiguardian.api.API;
+
+/**
+ * Exception thrown by wrappers created with {@link Exceptions#withErrorBudget} once their {@link ErrorBudget} has
+ * been exceeded, whichever failure mode is in use. Throwing it out of a stream operation aborts the stream. The cause
+ * is the first failure recorded against the budget.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public class ErrorBudgetExceededException extends StreamException {
+
+    /**
+     * The number of failed calls at the time this exception was thrown.
+     */
+    @Getter
+    private final long failures;
+
+    /**
+     * The number of calls at the time this exception was thrown.
+     */
+    @Getter
+    private final long calls;
+
+    @API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.*"})
+    public ErrorBudgetExceededException(long failures, long calls, Throwable firstFailure) {
+        super("Error budget exceeded: " + failures + " of " + calls + " calls failed", firstFailure);
+        this.failures = failures;
+        this.calls = calls;
+    }
+
+}
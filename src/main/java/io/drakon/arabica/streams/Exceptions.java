@@ -4,6 +4,7 @@ import java.util.function.Function;
 
 import io.drakon.arabica.functional.ThrowableCallable;
 import io.drakon.arabica.functional.ThrowableFunction;
+import io.drakon.arabica.internal.streams.BudgetedMaybeThrowsFunction;
 import io.drakon.arabica.internal.streams.MaybeThrowsFunctionImpl;
 import io.drakon.arabica.internal.streams.MaybeThrowsProducerImpl;
 import lombok.NonNull;
@@ -43,4 +44,43 @@ public class Exceptions {
         return new MaybeThrowsFunctionImpl<>(callable);
     }
 
+    /**
+     * Wrap a function call in a {@link MaybeThrowsProducer} which counts calls and failures against an
+     * {@link ErrorBudget}. Failures are handled by the chosen failure mode as usual until the budget is exceeded; from
+     * then on every call throws an {@link ErrorBudgetExceededException} (without running the function), aborting any
+     * stream it is used in. Producers derived with {@link MaybeThrowsProducer#withConcurrencyLimit(int)} count against
+     * the same budget, but calls rejected by the limit are not counted.
+     *
+     * @param callable The function to call.
+     * @param budget   The budget to count failures against. May be shared between wrappers.
+     * @param <R>      The return type of the function.
+     * @return A {@link MaybeThrowsProducer} wrapper around the function.
+     */
+    public <R> MaybeThrowsProducer<R> withErrorBudget(@NonNull ThrowableCallable<R> callable,
+                                                      @NonNull ErrorBudget budget) {
+        return new MaybeThrowsProducerImpl<>(callable,
+                new BudgetedMaybeThrowsFunction<>(ignored -> callable.apply(), budget));
+    }
+
+    /**
+     * Wrap a function call in a {@link MaybeThrowsFunction} which counts calls and failures against an
+     * {@link ErrorBudget}. Failures are handled by the chosen failure mode as usual until the budget is exceeded; from
+     * then on every call throws an {@link ErrorBudgetExceededException} (without running the function), aborting any
+     * stream it is used in.
+     * <p>
+     * Wrappers derived from the result (e.g. with {@link MaybeThrowsFunction#andThen(ThrowableFunction)} or
+     * {@link MaybeThrowsFunction#withConcurrencyLimit(int)}) count against the same budget, which stays the outermost
+     * layer. Calls rejected by a concurrency limit are not counted. To budget an existing wrapper, pass its {@link MaybeThrowsFunction#getCallable()}.
+     *
+     * @param callable The function to call.
+     * @param budget   The budget to count failures against. May be shared between wrappers.
+     * @param <T>      The input type of the function.
+     * @param <R>      The return type of the function.
+     * @return A {@link MaybeThrowsFunction} wrapper around the function.
+     */
+    public <T, R> MaybeThrowsFunction<T, R> withErrorBudget(@NonNull ThrowableFunction<T, R> callable,
+                                                            @NonNull ErrorBudget budget) {
+        return new BudgetedMaybeThrowsFunction<>(callable, budget);
+    }
+
 }
@@ -6,6 +6,10 @@ import java.util.function.Function;
 
 import io.drakon.arabica.functional.Producer;
 import io.drakon.arabica.functional.ThrowableFunction;
+import io.drakon.arabica.internal.streams.ComposedThrowableFunction;
+import io.drakon.arabica.internal.streams.LimitedThrowableFunction;
+import io.drakon.arabica.internal.streams.MaybeThrowsFunctionImpl;
+import lombok.NonNull;
 import org.apiguardian.api.API;
 
 /**
@@ -134,6 +138,65 @@ public interface MaybeThrowsFunction<T, R> {
         return (T input) -> this.orElse(input, fallbackProducer);
     }
 
+    /**
+     * Fuses this function with a following step into a single wrapper, which runs both steps within one try/catch and
+     * applies the chosen failure mode once. Chains of any length can be built by calling this repeatedly, and cost
+     * roughly the same per call as a single wrapper.
+     * <p>
+     * Exceptions from a composed wrapper reach failure handlers (and {@link StreamException} causes) as a
+     * {@link StepFailedException}, whose {@link StepFailedException#getStep()} gives the zero-based index of the
+     * failed step and whose cause is the original exception.
+     * <p>
+     * Chains are flattened when composed directly, so step indices cover every function in the chain. A chain hidden
+     * behind another wrapper (for example one limited with {@link #withConcurrencyLimit(int)}) is treated as a single
+     * step, so its failures arrive nested: the outer {@link StepFailedException} has the inner one as its cause.
+     *
+     * @param after The step to run on the result of this function.
+     * @param <V>   The return type of the following step.
+     * @return A {@link MaybeThrowsFunction} wrapper running this function then {@code after}.
+     */
+    default <V> MaybeThrowsFunction<T, V> andThen(@NonNull ThrowableFunction<? super R, ? extends V> after) {
+        return new MaybeThrowsFunctionImpl<>(ComposedThrowableFunction.of(getCallable(), after));
+    }
+
+    /**
+     * Fuses a preceding step with this function into a single wrapper. See {@link #andThen(ThrowableFunction)} for
+     * how failures are reported.
+     *
+     * @param before The step to run before this function, producing its input.
+     * @param <V>    The input type of the preceding step.
+     * @return A {@link MaybeThrowsFunction} wrapper running {@code before} then this function.
+     */
+    default <V> MaybeThrowsFunction<V, R> compose(@NonNull ThrowableFunction<? super V, ? extends T> before) {
+        return new MaybeThrowsFunctionImpl<>(ComposedThrowableFunction.of(before, getCallable()));
+    }
+
+    /**
+     * Wraps this function so that at most a given number of calls are in flight at once. Calls over the limit are not
+     * queued; they fail immediately with a {@link ConcurrencyLimitExceededException}, which is handled by whichever
+     * failure mode (such as {@link #orElse(Object, Object)} or {@link #exceptionally(Object, Consumer)}) is used on
+     * the returned wrapper.
+     *
+     * @param maxConcurrency The maximum number of calls in flight.
+     * @return A {@link MaybeThrowsFunction} wrapper which limits concurrent calls.
+     */
+    default MaybeThrowsFunction<T, R> withConcurrencyLimit(int maxConcurrency) {
+        return withConcurrencyLimit(ConcurrencyLimiter.fixed(maxConcurrency));
+    }
+
+    /**
+     * Version of {@link #withConcurrencyLimit(int)} which takes permits from the given {@link ConcurrencyLimiter},
+     * such as an adaptive limiter from {@link ConcurrencyLimiter#adaptive(int, int, int, java.time.Duration)}. A
+     * limiter may be shared between several wrappers to limit them as a group.
+     *
+     * @param limiter The limiter to take permits from.
+     * @return A {@link MaybeThrowsFunction} wrapper which limits concurrent calls.
+     */
+    default MaybeThrowsFunction<T, R> withConcurrencyLimit(ConcurrencyLimiter limiter) {
+        ThrowableFunction<T, R> callable = getCallable();
+        return new MaybeThrowsFunctionImpl<>(new LimitedThrowableFunction<>(callable, limiter), callable);
+    }
+
     /**
      * Get the underlying callable represented by this instance.
      *
@@ -5,6 +5,7 @@ import java.util.function.Consumer;
 
 import io.drakon.arabica.functional.Producer;
 import io.drakon.arabica.functional.ThrowableCallable;
+import io.drakon.arabica.internal.streams.MaybeThrowsProducerImpl;
 import org.apiguardian.api.API;
 
 /**
@@ -77,6 +78,28 @@ public interface MaybeThrowsProducer<R> {
      */
     R orElse(Producer<R> fallbackProducer);
 
+    /**
+     * Wraps this producer so that at most a given number of calls are in flight at once. Calls over the limit are not
+     * queued; they fail immediately with a {@link ConcurrencyLimitExceededException}, which is handled by whichever
+     * failure mode is used on the returned wrapper.
+     *
+     * @param maxConcurrency The maximum number of calls in flight.
+     * @return A {@link MaybeThrowsProducer} wrapper which limits concurrent calls.
+     */
+    default MaybeThrowsProducer<R> withConcurrencyLimit(int maxConcurrency) {
+        return withConcurrencyLimit(ConcurrencyLimiter.fixed(maxConcurrency));
+    }
+
+    /**
+     * Version of {@link #withConcurrencyLimit(int)} which takes permits from the given {@link ConcurrencyLimiter}.
+     *
+     * @param limiter The limiter to take permits from.
+     * @return A {@link MaybeThrowsProducer} wrapper which limits concurrent calls.
+     */
+    default MaybeThrowsProducer<R> withConcurrencyLimit(ConcurrencyLimiter limiter) {
+        return new MaybeThrowsProducerImpl<>(getCallable()).withConcurrencyLimit(limiter);
+    }
+
     /**
      * Get the underlying callable represented by this instance.
      *
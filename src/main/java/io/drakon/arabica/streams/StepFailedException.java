@@ -0,0 +1,28 @@
+package io.drakon.arabica.streams;
+
+import lombok.Getter;
+import org.apiguardian.api.API;
+
+/**
+ * Exception passed to the failure handling of a {@link MaybeThrowsFunction} built with
+ * {@link MaybeThrowsFunction#andThen(io.drakon.arabica.functional.ThrowableFunction)} or
+ * {@link MaybeThrowsFunction#compose(io.drakon.arabica.functional.ThrowableFunction)}, identifying which step of the
+ * chain failed. The exception thrown by that step is available as the cause.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public class StepFailedException extends Exception {
+
+    /**
+     * The zero-based index of the failed step, in the order the steps run.
+     */
+    @Getter
+    private final int step;
+
+    @API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.*"})
+    public StepFailedException(int step, Throwable cause) {
+        // The cause carries the useful stack trace, so skip capturing another one.
+        super("Step " + step + " failed", cause, false, false);
+        this.step = step;
+    }
+
+}
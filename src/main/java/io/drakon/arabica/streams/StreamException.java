@@ -14,4 +14,9 @@ public class StreamException extends RuntimeException {
         super(cause);
     }
 
+    @API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.streams.*"})
+    protected StreamException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
 }
@@ -0,0 +1,85 @@
+package io.drakon.arabica.internal.streams;
+
+import io.drakon.arabica.functional.ThrowableFunction;
+import io.drakon.arabica.streams.StepFailedException;
+import jdk.jfr.EventType;
+import lombok.experimental.UtilityClass;
+import org.apiguardian.api.API;
+
+/**
+ * Hooks for emitting diagnostic events around wrapped calls. This is the Java 11+ version, which emits
+ * {@link FailureEvent} and {@link SlowCallEvent} to Java Flight Recorder. When no recording has either event enabled,
+ * {@link #isEnabled()} is a pair of field reads and wrapped calls run untimed.
+ */
+@UtilityClass
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.internal.streams.*"})
+public class CallEvents {
+
+    private final EventType FAILURE_TYPE = eventType(FailureEvent.class);
+    private final EventType SLOW_CALL_TYPE = eventType(SlowCallEvent.class);
+
+    /**
+     * @return True if any event would currently be recorded. Callers should skip {@link #record} entirely otherwise.
+     */
+    public boolean isEnabled() {
+        return FAILURE_TYPE != null && (FAILURE_TYPE.isEnabled() || SLOW_CALL_TYPE.isEnabled());
+    }
+
+    /**
+     * Runs a callable, recording events for failure or slow completion.
+     *
+     * @param source   The user-supplied callable, reported as the origin of events.
+     * @param callable The function to run.
+     * @param input    The input to the function.
+     * @return The return value of the function.
+     * @throws Throwable Any exception thrown by the function, rethrown unchanged.
+     */
+    public <T, R> R record(Object source, ThrowableFunction<T, R> callable, T input) throws Throwable {
+        FailureEvent failure = new FailureEvent();
+        SlowCallEvent slowCall = new SlowCallEvent();
+        failure.begin();
+        slowCall.begin();
+        try {
+            return callable.apply(input);
+        } catch (Throwable t) {
+            failure.end();
+            if (failure.shouldCommit()) {
+                // For composed chains, report the step which failed and its original exception.
+                Object failedSource = source;
+                Throwable cause = t;
+                int step = -1;
+                if (source instanceof ComposedThrowableFunction && t instanceof StepFailedException) {
+                    step = ((StepFailedException) t).getStep();
+                    failedSource = ((ComposedThrowableFunction<?, ?>) source).getSource(step);
+                    cause = t.getCause();
+                }
+                failure.function = failedSource.getClass().getName();
+                failure.step = step;
+                failure.exceptionClass = cause.getClass();
+                failure.message = cause.getMessage();
+                failure.commit();
+            }
+            throw t;
+        } finally {
+            slowCall.end();
+            if (slowCall.shouldCommit()) {
+                // Composed chains are reported by their first step.
+                Object firstSource = source instanceof ComposedThrowableFunction
+                        ? ((ComposedThrowableFunction<?, ?>) source).getSource(0)
+                        : source;
+                slowCall.function = firstSource.getClass().getName();
+                slowCall.commit();
+            }
+        }
+    }
+
+    // The jdk.jfr module may be absent from custom runtime images; treat that as recording always being off.
+    private EventType eventType(Class<? extends jdk.jfr.Event> eventClass) {
+        try {
+            return EventType.getEventType(eventClass);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.drakon.arabica.internal.streams;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.apiguardian.api.API;
+
+@Name("io.drakon.arabica.MaybeThrowsFailure")
+@Label("MaybeThrows Failure")
+@Category({"Arabica", "Streams"})
+@Description("A function wrapped by MaybeThrowsFunction or MaybeThrowsProducer threw an exception")
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.internal.streams.*"})
+class FailureEvent extends Event {
+
+    @Label("Function")
+    @Description("Class of the wrapped function (for composed chains, of the failed step)")
+    String function;
+
+    @Label("Step")
+    @Description("Zero-based index of the failed step in a composed chain, or -1 if not composed")
+    int step;
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Message")
+    String message;
+
+}
@@ -0,0 +1,27 @@
+package io.drakon.arabica.internal.streams;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+import org.apiguardian.api.API;
+
+/**
+ * Recorded for calls (failed or not) which take longer than the event threshold. The default threshold can be
+ * overridden in a recording's settings, like that of any built-in JFR event.
+ */
+@Name("io.drakon.arabica.MaybeThrowsSlowCall")
+@Label("MaybeThrows Slow Call")
+@Category({"Arabica", "Streams"})
+@Description("A function wrapped by MaybeThrowsFunction or MaybeThrowsProducer took longer than the threshold")
+@Threshold("20 ms")
+@API(status = API.Status.INTERNAL, consumers = {"io.drakon.arabica.internal.streams.*"})
+class SlowCallEvent extends Event {
+
+    @Label("Function")
+    @Description("Class of the wrapped function (for composed chains, of the first step)")
+    String function;
+
+}
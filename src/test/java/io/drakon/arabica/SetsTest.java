@@ -1,6 +1,15 @@
 package io.drakon.arabica;
 
+import java.lang.reflect.Field;
+import java.nio.CharBuffer;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -78,4 +87,142 @@ class SetsTest {
         assertThat(Sets.symmetricDifference(Sets.asSet(0, 1), Sets.asSet(1, 2))).containsExactlyInAnyOrder(0, 2);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testStrategyAsSetByteArrays() {
+        Set<byte[]> set = Sets.asSet(HashingStrategy.byteArrays(), new byte[]{1, 2}, new byte[]{1, 2}, new byte[]{3});
+        assertThat(set).hasSize(2);
+        assertThat(set.contains(new byte[]{1, 2})).isTrue();
+        assertThat(set.contains(new byte[]{2, 1})).isFalse();
+    }
+
+    @Test
+    void testStrategyAsSetCharSequences() {
+        Set<CharSequence> set = Sets.asSet(HashingStrategy.charSequences(), "test", CharBuffer.wrap("a test", 2, 6));
+        assertThat(set).hasSize(1);
+        assertThat(set.contains(new StringBuilder("test"))).isTrue();
+    }
+
+    @Test
+    void testStrategySetGrowsAndRemoves() {
+        Set<CharSequence> set = Sets.asSet(HashingStrategy.charSequences());
+        for (int i = 0; i < 1000; i++) {
+            assertThat(set.add(Integer.toString(i))).isTrue();
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertThat(set.remove(new StringBuilder(Integer.toString(i)))).isTrue();
+        }
+        assertThat(set).hasSize(500);
+        assertThat(set.contains("1")).isTrue();
+        assertThat(set.contains("2")).isFalse();
+        for (Iterator<CharSequence> it = set.iterator(); it.hasNext(); ) {
+            it.next();
+            it.remove();
+        }
+        assertThat(set).isEmpty();
+    }
+
+    @Test
+    void testStrategySetHashCode() {
+        HashingStrategy<byte[]> strategy = HashingStrategy.byteArrays();
+        Set<byte[]> set = Sets.asSet(strategy, new byte[]{1, 2}, new byte[]{-7, 3, 100});
+        assertThat(set.hashCode()).isEqualTo(strategy.hash(new byte[]{1, 2}) + strategy.hash(new byte[]{-7, 3, 100}));
+        assertThat(set.hashCode()).isEqualTo(Sets.asSet(strategy, new byte[]{-7, 3, 100}, new byte[]{1, 2}).hashCode());
+    }
+
+    @Test
+    void testStrategyUnion() {
+        Set<byte[]> set = Sets.union(HashingStrategy.byteArrays(), Sets.asSet(new byte[]{1}),
+                Sets.asSet(new byte[]{1}, new byte[]{2}));
+        assertThat(set).hasSize(2);
+    }
+
+    @Test
+    void testStrategyIntersection() {
+        HashingStrategy<byte[]> strategy = HashingStrategy.byteArrays();
+        Set<byte[]> set = Sets.intersection(strategy, Sets.asSet(strategy, new byte[]{0}, new byte[]{1}),
+                Sets.asSet(new byte[]{1}, new byte[]{2}));
+        assertThat(set).hasSize(1);
+        assertThat(set.contains(new byte[]{1})).isTrue();
+    }
+
+    @Test
+    void testStrategySymmetricDifference() {
+        HashingStrategy<byte[]> strategy = HashingStrategy.byteArrays();
+        Set<byte[]> set = Sets.symmetricDifference(strategy, Sets.asSet(new byte[]{0}, new byte[]{1}),
+                Sets.asSet(new byte[]{1}, new byte[]{2}));
+        assertThat(set).hasSize(2);
+        assertThat(set.contains(new byte[]{0})).isTrue();
+        assertThat(set.contains(new byte[]{2})).isTrue();
+    }
+
+    @Test
+    void testImmutableSetSizes() {
+        assertThat(Sets.asImmutableSet()).isEmpty();
+        assertThat(Sets.asImmutableSet(1)).containsExactly(1);
+        assertThat(Sets.asImmutableSet(1, 1)).containsExactly(1);
+        assertThat(Sets.asImmutableSet(1, 2, 1)).containsExactlyInAnyOrder(1, 2);
+        assertThat(Sets.asImmutableSet(1, 2, 3)).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(Sets.asImmutableSet(1, 2, 3, 2, 4)).containsExactlyInAnyOrder(1, 2, 3, 4);
+        assertThat(Sets.asImmutableSet(1, 2, 3, 2, 4, 5)).containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+        assertThat(Sets.asImmutableSet(1, 2, 3, 4, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 6))
+                .containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    void testImmutableSetTableSize() throws ReflectiveOperationException {
+        Set<Integer> set = Sets.asImmutableSet(1, 2, 3, 4, 5);
+        Field table = set.getClass().getDeclaredField("table");
+        table.setAccessible(true);
+        assertThat((Object[]) table.get(set)).hasSize(8);
+    }
+
+    @Test
+    void testImmutableSetGrowsPastReportedSize() {
+        List<Integer> elements = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        Collection<Integer> understated = new AbstractCollection<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return elements.iterator();
+            }
+
+            @Override
+            public int size() {
+                return 5;
+            }
+        };
+        assertThat(Sets.immutableCopyOf(understated)).hasSize(100).containsAll(elements);
+    }
+
+    @Test
+    void testImmutableSetContains() {
+        for (int size = 1; size < 8; size++) {
+            Set<Integer> set = Sets.immutableCopyOf(IntStream.range(0, size).boxed().collect(Collectors.toList()));
+            assertThat(set.contains(size - 1)).as("size %d", size).isTrue();
+            assertThat(set.contains(size)).as("size %d", size).isFalse();
+            assertThat(set.contains(null)).as("size %d", size).isFalse();
+        }
+        assertThat(Sets.asImmutableSet("a", "b").contains("c")).isFalse();
+    }
+
+    @Test
+    void testImmutableSetEquality() {
+        for (int size = 0; size < 8; size++) {
+            Set<Integer> expected = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                expected.add(i);
+            }
+            Set<Integer> set = Sets.immutableCopyOf(expected);
+            assertThat(set).as("size %d", size).isEqualTo(expected);
+            assertThat(set.hashCode()).as("size %d", size).isEqualTo(expected.hashCode());
+        }
+    }
+
+    @Test
+    void testImmutableSetRejectsChanges() {
+        assertThatThrownBy(() -> Sets.asImmutableSet(1).add(2)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> Sets.asImmutableSet(1, 2, 3).remove(2))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> Sets.asImmutableSet(1, null)).isInstanceOf(NullPointerException.class);
+    }
+
+}
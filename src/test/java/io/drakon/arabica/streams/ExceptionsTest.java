@@ -1,5 +1,12 @@
 package io.drakon.arabica.streams;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import io.drakon.arabica.functional.ThrowableCallable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.junit.jupiter.api.Test;
@@ -123,6 +130,212 @@ class ExceptionsTest {
         assertThat(Exceptions.maybeThrows(it -> throwException()).orElse(() -> true).apply(null)).isTrue();
     }
 
+    @Test
+    void testConcurrencyLimitRejectsOverLimit() {
+        AtomicReference<MaybeThrowsFunction<Integer, String>> limited = new AtomicReference<>();
+        limited.set(Exceptions.<Integer, String>maybeThrows(depth -> depth == 0 ? "inner" :
+                limited.get().throwUnchecked(depth - 1)).withConcurrencyLimit(1));
+        assertThat(limited.get().orElse(0, "rejected")).as("within limit").isEqualTo("inner");
+        assertThatCode(() -> limited.get().throwUnchecked(1))
+                .as("over limit")
+                .hasRootCauseInstanceOf(ConcurrencyLimitExceededException.class);
+    }
+
+    @Test
+    void testConcurrencyLimitReleasesOnFailure() {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.fixed(1);
+        MaybeThrowsProducer<Boolean> limited = Exceptions.maybeThrows(ExceptionsTest::throwException)
+                .withConcurrencyLimit(limiter);
+        assertThat(limited.orElse(true)).isTrue();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void testConcurrencyLimitedProducerKeepsCallable() {
+        ThrowableCallable<String> callable = () -> "test";
+        MaybeThrowsProducer<String> limited = Exceptions.maybeThrows(callable).withConcurrencyLimit(1);
+        assertThat(limited.getCallable()).isSameAs(callable);
+        assertThat(limited.withConcurrencyLimit(2).orElse("fail")).isEqualTo("test");
+    }
+
+    @Test
+    void testAdaptiveConcurrencyLimit() {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.adaptive(10, 2, 20, Duration.ofSeconds(1));
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(Duration.ofSeconds(2).toNanos(), false);
+        assertThat(limiter.getLimit()).as("decrease on slow call").isEqualTo(9);
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(0, true);
+        assertThat(limiter.getLimit()).as("decrease on failure").isEqualTo(8);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        limiter.release(0, false);
+        assertThat(limiter.getLimit()).as("increase when busy").isEqualTo(9);
+    }
+
+    @Test
+    void testAdaptiveConcurrencyLimitBacksOffOncePerWindow() throws InterruptedException {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.adaptive(10, 2, 20, Duration.ofSeconds(1));
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        Thread.sleep(5);
+        for (int i = 0; i < 5; i++) {
+            limiter.release(System.nanoTime() - start, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(9);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void testAndThenNoException() {
+        MaybeThrowsFunction<String, Integer> fused = Exceptions.<String, String>maybeThrows(String::trim)
+                .andThen(Integer::parseInt)
+                .andThen(it -> it * 2);
+        assertThat(fused.throwUnchecked(" 21 ")).isEqualTo(42);
+    }
+
+    @Test
+    void testAndThenReportsFailedStep() {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        MaybeThrowsFunction<String, Integer> fused = Exceptions.<String, String>maybeThrows(String::trim)
+                .andThen(Integer::parseInt)
+                .andThen(it -> it * 2);
+        assertThat(fused.exceptionallyOptional(" x ", failure::set)).isEmpty();
+        assertThat(failure.get()).isInstanceOf(StepFailedException.class)
+                .hasCauseInstanceOf(NumberFormatException.class);
+        assertThat(((StepFailedException) failure.get()).getStep()).isEqualTo(1);
+    }
+
+    @Test
+    void testComposeReportsFailedStep() {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        MaybeThrowsFunction<String, Integer> fused = Exceptions.<Integer, Integer>maybeThrows(it -> it / 0)
+                .compose(Integer::parseInt);
+        assertThat(fused.exceptionally("1", failure::set)).isNull();
+        assertThat(((StepFailedException) failure.get()).getStep()).isEqualTo(1);
+        assertThat(fused.orElse("x", -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void testErrorBudgetAbortsStream() {
+        ErrorBudget budget = ErrorBudget.maxFailures(10);
+        AtomicInteger attempts = new AtomicInteger();
+        MaybeThrowsFunction<Integer, Boolean> budgeted = Exceptions.withErrorBudget(it -> {
+            attempts.incrementAndGet();
+            return throwException();
+        }, budget);
+        assertThatThrownBy(() -> IntStream.range(0, 10_000).boxed().parallel().map(budgeted.orElse(true)).toArray())
+                .isInstanceOf(ErrorBudgetExceededException.class)
+                .hasCauseInstanceOf(Exception.class);
+        assertThat(budget.isExceeded()).isTrue();
+        assertThat(attempts.get()).isLessThan(10_000);
+    }
+
+    @Test
+    void testErrorBudgetWithinLimit() {
+        ErrorBudget budget = ErrorBudget.maxFailures(1);
+        MaybeThrowsProducer<Boolean> budgeted = Exceptions.withErrorBudget(ExceptionsTest::throwException, budget);
+        assertThat(budgeted.orElse(true)).isTrue();
+        assertThat(budget.getFailures()).isEqualTo(1);
+        assertThatThrownBy(() -> budgeted.orElse(true)).isInstanceOf(ErrorBudgetExceededException.class);
+    }
+
+    @Test
+    void testErrorBudgetFailureRate() {
+        ErrorBudget budget = ErrorBudget.maxFailureRate(0.5, 4);
+        MaybeThrowsFunction<Integer, Integer> budgeted = Exceptions.withErrorBudget(it -> {
+            if (it % 3 == 0) {
+                throw new Exception();
+            }
+            return it;
+        }, budget);
+        assertThat(IntStream.range(0, 100).boxed().map(budgeted.orElse(-1)).filter(it -> it < 0).count())
+                .as("one in three fails").isEqualTo(34);
+        assertThat(budget.getCalls()).isEqualTo(100);
+        assertThatThrownBy(() -> IntStream.range(0, 100).boxed().map(it -> 0).map(budgeted.orElse(-1)).toArray())
+                .isInstanceOf(ErrorBudgetExceededException.class);
+    }
+
+    @Test
+    void testErrorBudgetFailuresBeforeMinCalls() {
+        ErrorBudget budget = ErrorBudget.maxFailureRate(0.5, 10);
+        MaybeThrowsFunction<Integer, Integer> budgeted = Exceptions.withErrorBudget(it -> {
+            if (it < 9) {
+                throw new Exception();
+            }
+            return it;
+        }, budget);
+        for (int i = 0; i < 9; i++) {
+            assertThat(budgeted.orElse(i, -1)).isEqualTo(-1);
+        }
+        assertThat(budget.isExceeded()).as("before minCalls").isFalse();
+        assertThatThrownBy(() -> budgeted.orElse(9, -1)).isInstanceOf(ErrorBudgetExceededException.class);
+        assertThat(budget.isExceeded()).as("at minCalls").isTrue();
+    }
+
+    @Test
+    void testErrorBudgetKeptByAndThen() {
+        ErrorBudget budget = ErrorBudget.maxFailures(0);
+        MaybeThrowsFunction<String, Integer> budgeted = Exceptions.<String, String>withErrorBudget(String::trim, budget)
+                .andThen(Integer::parseInt);
+        assertThat(budgeted.orElse(" 1 ", -1)).isEqualTo(1);
+        assertThatThrownBy(() -> budgeted.orElse("x", -1)).isInstanceOf(ErrorBudgetExceededException.class);
+        assertThat(budget.getCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void testErrorBudgetKeptByCompose() {
+        ErrorBudget budget = ErrorBudget.maxFailures(0);
+        MaybeThrowsFunction<String, Integer> budgeted = Exceptions
+                .<Integer, Integer>withErrorBudget(it -> it * 2, budget)
+                .compose(Integer::parseInt);
+        assertThat(budgeted.orElse("2", -1)).isEqualTo(4);
+        assertThatThrownBy(() -> budgeted.orElse("x", -1)).isInstanceOf(ErrorBudgetExceededException.class);
+    }
+
+    @Test
+    void testErrorBudgetKeptByConcurrencyLimit() {
+        ErrorBudget budget = ErrorBudget.maxFailures(0);
+        MaybeThrowsFunction<Integer, Boolean> budgeted = Exceptions.<Integer, Boolean>withErrorBudget(
+                it -> throwException(), budget).withConcurrencyLimit(4);
+        assertThatThrownBy(() -> budgeted.orElse(0, true)).isInstanceOf(ErrorBudgetExceededException.class);
+        assertThat(budget.getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void testErrorBudgetKeptByProducerConcurrencyLimit() {
+        ErrorBudget budget = ErrorBudget.maxFailures(0);
+        ThrowableCallable<Boolean> callable = ExceptionsTest::throwException;
+        MaybeThrowsProducer<Boolean> budgeted = Exceptions.withErrorBudget(callable, budget).withConcurrencyLimit(4);
+        assertThatThrownBy(() -> budgeted.orElse(true)).isInstanceOf(ErrorBudgetExceededException.class);
+        assertThat(budget.getFailures()).isEqualTo(1);
+        assertThat(budgeted.getCallable()).isSameAs(callable);
+    }
+
+    @Test
+    void testErrorBudgetIgnoresConcurrencyLimitRejections() {
+        ErrorBudget budget = ErrorBudget.maxFailures(5);
+        MaybeThrowsFunction<Integer, Boolean> budgeted = Exceptions.<Integer, Boolean>withErrorBudget(it -> {
+            LockSupport.parkNanos(100_000);
+            return true;
+        }, budget).withConcurrencyLimit(1);
+        assertThatCode(() -> IntStream.range(0, 2000).boxed().parallel().map(budgeted.orElse(false)).toArray())
+                .doesNotThrowAnyException();
+        assertThat(budget.getFailures()).isZero();
+    }
+
+    @Test
+    void testErrorBudgetThrowUncheckedOnExceedingCall() {
+        ErrorBudget budget = ErrorBudget.maxFailures(0);
+        MaybeThrowsFunction<Integer, Boolean> budgeted = Exceptions.withErrorBudget(it -> throwException(), budget);
+        assertThatThrownBy(() -> budgeted.throwUnchecked(0))
+                .isInstanceOf(ErrorBudgetExceededException.class)
+                .hasCauseInstanceOf(Exception.class);
+    }
+
     @Data
     @AllArgsConstructor
     private static class TestBooleanState {
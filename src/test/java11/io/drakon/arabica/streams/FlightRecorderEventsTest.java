@@ -0,0 +1,118 @@
+package io.drakon.arabica.streams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.drakon.arabica.functional.ThrowableCallable;
+import io.drakon.arabica.functional.ThrowableFunction;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Tests for the JFR events emitted on Java 11+; runs against the multi-release JAR.
+class FlightRecorderEventsTest {
+
+    private static final String FAILURE = "io.drakon.arabica.MaybeThrowsFailure";
+    private static final String SLOW_CALL = "io.drakon.arabica.MaybeThrowsSlowCall";
+
+    @Test
+    void testFailureEvent() throws IOException {
+        ThrowableFunction<String, String> failing = FlightRecorderEventsTest::failWithMessage;
+        List<RecordedEvent> events = record(Duration.ofHours(1),
+                () -> Exceptions.maybeThrows(failing).orElse("input", "fallback"));
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getEventType().getName()).isEqualTo(FAILURE);
+        assertThat(event.getString("function")).isEqualTo(failing.getClass().getName());
+        assertThat(event.getClass("exceptionClass").getName()).isEqualTo(IOException.class.getName());
+        assertThat(event.getString("message")).isEqualTo("failed on input");
+        assertThat(event.getInt("step")).isEqualTo(-1);
+        assertThat(event.getThread().getJavaName()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void testFailureEventForProducer() throws IOException {
+        ThrowableCallable<String> failing = () -> failWithMessage("producer");
+        List<RecordedEvent> events = record(Duration.ofHours(1),
+                () -> Exceptions.maybeThrows(failing).withConcurrencyLimit(4).ignoringExceptions());
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("function")).isEqualTo(failing.getClass().getName());
+    }
+
+    @Test
+    void testFailureEventForComposedChain() throws IOException {
+        ThrowableFunction<String, String> trim = String::trim;
+        ThrowableFunction<String, String> failing = FlightRecorderEventsTest::failWithMessage;
+        List<RecordedEvent> events = record(Duration.ofHours(1),
+                () -> Exceptions.maybeThrows(trim).andThen(failing).andThen(String::length).orElse(" x ", -1));
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("function")).isEqualTo(failing.getClass().getName());
+        assertThat(event.getInt("step")).isEqualTo(1);
+        assertThat(event.getClass("exceptionClass").getName()).isEqualTo(IOException.class.getName());
+        assertThat(event.getString("message")).isEqualTo("failed on x");
+    }
+
+    @Test
+    void testSlowCallThreshold() throws IOException {
+        List<RecordedEvent> events = record(Duration.ofMillis(50), () -> {
+            Exceptions.maybeThrows(() -> "fast").ignoringExceptions();
+            Exceptions.maybeThrows(() -> {
+                Thread.sleep(100);
+                return "slow";
+            }).ignoringExceptions();
+        });
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getEventType().getName()).isEqualTo(SLOW_CALL);
+        assertThat(events.get(0).getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    void testNothingRecordedWhenOff() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable(FAILURE);
+            recording.enable(SLOW_CALL).withThreshold(Duration.ZERO);
+            // Calls made before the recording starts and after it stops must not be recorded.
+            Exceptions.maybeThrows(() -> failWithMessage("before")).ignoringExceptions();
+            recording.start();
+            recording.stop();
+            Exceptions.maybeThrows(() -> failWithMessage("after")).ignoringExceptions();
+            assertThat(readEvents(recording)).isEmpty();
+        }
+    }
+
+    private static List<RecordedEvent> record(Duration slowCallThreshold, Runnable action) throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable(FAILURE);
+            recording.enable(SLOW_CALL).withThreshold(slowCallThreshold);
+            recording.start();
+            action.run();
+            recording.stop();
+            return readEvents(recording);
+        }
+    }
+
+    private static List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path file = Files.createTempFile("arabica", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(it -> it.getEventType().getName().startsWith("io.drakon.arabica."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static String failWithMessage(String input) throws IOException {
+        throw new IOException("failed on " + input);
+    }
+
+}